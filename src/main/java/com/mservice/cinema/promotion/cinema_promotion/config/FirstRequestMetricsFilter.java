@@ -0,0 +1,63 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long the first API request took and when it completed after JVM start,
+ * next to the application.started.time / application.ready.time metrics from actuator.
+ */
+@Component
+public class FirstRequestMetricsFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(FirstRequestMetricsFilter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+    
+    public FirstRequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health probes and metric scrapes are not user traffic
+        return recorded.get() || request.getRequestURI().startsWith("/actuator");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (recorded.compareAndSet(false, true)) {
+                long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                long sinceJvmStartMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+                
+                TimeGauge.builder("application.first.request.duration", () -> durationMillis, TimeUnit.MILLISECONDS)
+                        .description("Latency of the first request served after startup")
+                        .register(meterRegistry);
+                TimeGauge.builder("application.first.request.time", () -> sinceJvmStartMillis, TimeUnit.MILLISECONDS)
+                        .description("Time from JVM start until the first request was served")
+                        .register(meterRegistry);
+                log.info("First request {} {} served in {} ms, {} ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), durationMillis, sinceJvmStartMillis);
+            }
+        }
+    }
+}
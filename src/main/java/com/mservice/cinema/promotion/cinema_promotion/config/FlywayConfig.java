@@ -0,0 +1,23 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+    
+    /**
+     * Skips migrations during the CDS training run (cds.training-run=true), which must not need a database.
+     * Checked at runtime, unlike spring.flyway.enabled, which AOT processing fixes at build time.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${cds.training-run:false}") boolean trainingRun) {
+        return flyway -> {
+            if (!trainingRun) {
+                flyway.migrate();
+            }
+        };
+    }
+}
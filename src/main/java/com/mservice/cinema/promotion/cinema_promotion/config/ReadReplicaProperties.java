@@ -0,0 +1,95 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for routing read-only transactions to a replica database.
+ * Writes and read-write transactions always use spring.datasource.*
+ */
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReadReplicaProperties {
+    
+    // Route read-only transactions to the replica below
+    private boolean enabled = false;
+    
+    private String url;
+    private String username;
+    private String password;
+    private String driverClassName;
+    
+    // Query returning the replication lag in seconds; blank to only check connectivity
+    private String lagQuery;
+    
+    // Reads fall back to the primary while the replica lags behind more than this
+    private Duration maxLag = Duration.ofSeconds(5);
+    
+    // How often the replica lag and connectivity are checked
+    private Duration checkInterval = Duration.ofSeconds(5);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getUrl() {
+        return url;
+    }
+    
+    public void setUrl(String url) {
+        this.url = url;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    
+    public String getPassword() {
+        return password;
+    }
+    
+    public void setPassword(String password) {
+        this.password = password;
+    }
+    
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+    
+    public void setDriverClassName(String driverClassName) {
+        this.driverClassName = driverClassName;
+    }
+    
+    public String getLagQuery() {
+        return lagQuery;
+    }
+    
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+    
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+    
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+    
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+    
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+}
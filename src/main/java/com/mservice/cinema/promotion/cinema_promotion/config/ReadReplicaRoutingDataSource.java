@@ -0,0 +1,125 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * The physical connection is only fetched on first use, after the transaction manager
+ * has marked it read-only. Reads fall back to the primary while the replica is
+ * unreachable or lags behind more than the configured maximum. A replica pool that is
+ * merely busy sends single reads to the primary without marking the replica as down.
+ */
+public class ReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadReplicaProperties properties;
+    private volatile boolean replicaAvailable = true;
+    
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadReplicaProperties properties) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+        this.properties = properties;
+        setReadOnlyDataSource(new ReplicaWithFallback());
+    }
+    
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+    
+    /**
+     * Check replica connectivity and lag, and switch reads back to it once it is healthy again
+     */
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval:5s}")
+    public void checkReplica() {
+        boolean healthy;
+        try (Connection connection = replica.getConnection()) {
+            healthy = isWithinMaxLag(connection);
+        } catch (SQLException e) {
+            if (isPoolExhausted(e)) {
+                // Busy, not down: keep the current state until the next check
+                return;
+            }
+            healthy = false;
+        }
+        
+        if (healthy != replicaAvailable) {
+            log.warn("Read replica is now {}", healthy ? "available" : "unavailable, reading from primary");
+        }
+        replicaAvailable = healthy;
+    }
+    
+    private boolean isWithinMaxLag(Connection connection) throws SQLException {
+        if (!StringUtils.hasText(properties.getLagQuery())) {
+            return connection.isValid((int) properties.getCheckInterval().toSeconds());
+        }
+        
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            return lagSeconds * 1000 <= properties.getMaxLag().toMillis();
+        }
+    }
+    
+    /**
+     * Hikari reports a pool timeout without a cause when all connections are in use, and with
+     * the last connection failure as cause when the database cannot be reached
+     */
+    private static boolean isPoolExhausted(SQLException e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+    
+    private void onReplicaConnectionFailure(SQLException e) {
+        if (isPoolExhausted(e)) {
+            log.debug("Read replica pool is busy, reading from primary: {}", e.getMessage());
+        } else {
+            log.warn("Read replica connection failed, reading from primary: {}", e.getMessage());
+            replicaAvailable = false;
+        }
+    }
+    
+    /**
+     * Replica connections, or primary connections while the replica is unhealthy or busy
+     */
+    private class ReplicaWithFallback extends AbstractDataSource {
+        
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (replicaAvailable) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    onReplicaConnectionFailure(e);
+                }
+            }
+            return primary.getConnection();
+        }
+        
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            if (replicaAvailable) {
+                try {
+                    return replica.getConnection(username, password);
+                } catch (SQLException e) {
+                    onReplicaConnectionFailure(e);
+                }
+            }
+            return primary.getConnection(username, password);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(RedlockProperties.class)
+public class RedlockConfig {
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "lock.redlock", name = "enabled", havingValue = "true")
+    public RedlockNodes redlockNodes(RedlockProperties properties) {
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("lock.redlock.enabled=true requires at least one lock.redlock.nodes entry");
+        }
+        
+        // Fail fast on a hanging node instead of waiting for the default command timeout
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(properties.getNodeTimeout())
+                .build();
+        
+        List<LettuceConnectionFactory> connectionFactories = new ArrayList<>();
+        List<RedisTemplate<String, String>> templates = new ArrayList<>();
+        for (RedlockProperties.Node node : properties.getNodes()) {
+            RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(node.getHost(), node.getPort());
+            configuration.setDatabase(node.getDatabase());
+            if (node.getPassword() != null) {
+                configuration.setPassword(RedisPassword.of(node.getPassword()));
+            }
+            
+            LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            connectionFactories.add(connectionFactory);
+            
+            RedisTemplate<String, String> template = new RedisTemplate<>();
+            template.setConnectionFactory(connectionFactory);
+            template.setKeySerializer(new StringRedisSerializer());
+            template.setValueSerializer(new StringRedisSerializer());
+            template.afterPropertiesSet();
+            templates.add(template);
+        }
+        return new RedlockNodes(templates, connectionFactories);
+    }
+    
+    /**
+     * Templates for the independent Redis nodes used by quorum locking.
+     * Owns the underlying connection factories and closes them on shutdown.
+     */
+    public static class RedlockNodes implements DisposableBean {
+        private final List<RedisTemplate<String, String>> templates;
+        private final List<LettuceConnectionFactory> connectionFactories;
+        
+        public RedlockNodes(List<RedisTemplate<String, String>> templates,
+                            List<LettuceConnectionFactory> connectionFactories) {
+            this.templates = List.copyOf(templates);
+            this.connectionFactories = List.copyOf(connectionFactories);
+        }
+        
+        public List<RedisTemplate<String, String>> getTemplates() {
+            return templates;
+        }
+        
+        @Override
+        public void destroy() {
+            connectionFactories.forEach(LettuceConnectionFactory::destroy);
+        }
+    }
+}
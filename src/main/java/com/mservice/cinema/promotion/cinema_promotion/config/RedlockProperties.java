@@ -0,0 +1,102 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for quorum (Redlock-style) locking across independent Redis nodes.
+ * When disabled, locks are taken on the single Redis configured by spring.data.redis.*
+ */
+@ConfigurationProperties(prefix = "lock.redlock")
+public class RedlockProperties {
+    
+    // Acquire locks on a majority of the nodes below instead of the single Redis
+    private boolean enabled = false;
+    
+    // Independent Redis nodes (no replication between them)
+    private List<Node> nodes = new ArrayList<>();
+    
+    // Fraction of the lock TTL reserved for clock drift between nodes
+    private double clockDriftFactor = 0.01;
+    
+    // How long a single node may take to answer (also its Redis command timeout)
+    private Duration nodeTimeout = Duration.ofMillis(50);
+    
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public List<Node> getNodes() {
+        return nodes;
+    }
+    
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+    
+    public double getClockDriftFactor() {
+        return clockDriftFactor;
+    }
+    
+    public void setClockDriftFactor(double clockDriftFactor) {
+        this.clockDriftFactor = clockDriftFactor;
+    }
+    
+    public Duration getNodeTimeout() {
+        return nodeTimeout;
+    }
+    
+    public void setNodeTimeout(Duration nodeTimeout) {
+        this.nodeTimeout = nodeTimeout;
+    }
+    
+    /**
+     * Connection settings of a single Redis node
+     */
+    public static class Node {
+        private String host = "localhost";
+        private int port = 6379;
+        private int database = 0;
+        private String password;
+        
+        public String getHost() {
+            return host;
+        }
+        
+        public void setHost(String host) {
+            this.host = host;
+        }
+        
+        public int getPort() {
+            return port;
+        }
+        
+        public void setPort(int port) {
+            this.port = port;
+        }
+        
+        public int getDatabase() {
+            return database;
+        }
+        
+        public void setDatabase(int database) {
+            this.database = database;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+    }
+}
@@ -1,28 +1,88 @@
 package com.mservice.cinema.promotion.cinema_promotion.service;
 
+import com.mservice.cinema.promotion.cinema_promotion.config.RedlockConfig;
+import com.mservice.cinema.promotion.cinema_promotion.config.RedlockProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
-import org.springframework.scripting.support.ResourceScriptSource;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 @Service
 public class DistributedLockService {
     
     private final RedisTemplate<String, String> redisTemplate;
+    private final List<RedisTemplate<String, String>> quorumNodes;
+    private final double clockDriftFactor;
+    private final Duration retryDelay;
+    private final Duration nodeTimeout;
+    private final Duration defaultLockTimeout;
+    private final Duration defaultWaitTimeout;
+    private final ExecutorService quorumExecutor;
     private static final String LOCK_PREFIX = "user_lock:";
-    private static final Duration DEFAULT_LOCK_TIMEOUT = Duration.ofSeconds(30);
-    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
+            "    return redis.call('del', KEYS[1]) " +
+            "else " +
+            "    return 0 " +
+            "end",
+            Long.class);
     
     @Autowired
-    public DistributedLockService(RedisTemplate<String, String> redisTemplate) {
+    public DistributedLockService(RedisTemplate<String, String> redisTemplate,
+                                  RedlockProperties redlockProperties,
+                                  ObjectProvider<RedlockConfig.RedlockNodes> redlockNodes,
+                                  @Value("${lock.timeout:30s}") Duration lockTimeout,
+                                  @Value("${lock.wait-timeout:10s}") Duration waitTimeout,
+                                  @Value("${lock.retry-delay:100ms}") Duration retryDelay) {
+        this(redisTemplate,
+             quorumNodes(redlockNodes.getIfAvailable()),
+             redlockProperties.getClockDriftFactor(),
+             retryDelay,
+             redlockProperties.getNodeTimeout(),
+             lockTimeout,
+             waitTimeout);
+    }
+    
+    /**
+     * @param quorumNodes Independent Redis nodes for quorum locking; empty to lock on redisTemplate only
+     * @param clockDriftFactor Fraction of the lock timeout subtracted from the validity for clock drift
+     * @param retryDelay Pause between two acquisition attempts
+     * @param nodeTimeout How long a single quorum node may take to answer before it counts as failed
+     * @param lockTimeout How long locks taken with {@link #acquireLock(String)} are held
+     * @param waitTimeout How long {@link #acquireLock(String)} waits for a lock
+     */
+    DistributedLockService(RedisTemplate<String, String> redisTemplate,
+                           List<RedisTemplate<String, String>> quorumNodes,
+                           double clockDriftFactor,
+                           Duration retryDelay,
+                           Duration nodeTimeout,
+                           Duration lockTimeout,
+                           Duration waitTimeout) {
         this.redisTemplate = redisTemplate;
+        this.quorumNodes = List.copyOf(quorumNodes);
+        this.clockDriftFactor = clockDriftFactor;
+        this.retryDelay = retryDelay;
+        this.nodeTimeout = nodeTimeout;
+        this.defaultLockTimeout = lockTimeout;
+        this.defaultWaitTimeout = waitTimeout;
+        this.quorumExecutor = this.quorumNodes.isEmpty() ? null : Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    private static List<RedisTemplate<String, String>> quorumNodes(RedlockConfig.RedlockNodes redlockNodes) {
+        return redlockNodes == null ? List.of() : redlockNodes.getTemplates();
     }
     
     /**
@@ -31,7 +91,7 @@ public class DistributedLockService {
      * @return LockResult containing lock ID and success status
      */
     public LockResult acquireLock(String resourceKey) {
-        return acquireLock(resourceKey, DEFAULT_LOCK_TIMEOUT, DEFAULT_WAIT_TIMEOUT);
+        return acquireLock(resourceKey, defaultLockTimeout, defaultWaitTimeout);
     }
     
     /**
@@ -49,45 +109,96 @@ public class DistributedLockService {
         long endTime = startTime + waitTimeout.toMillis();
         
         while (System.currentTimeMillis() < endTime) {
-            Boolean acquired = redisTemplate.opsForValue()
-                    .setIfAbsent(lockKey, lockValue, lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
-            
-            if (Boolean.TRUE.equals(acquired)) {
-                return new LockResult(true, lockValue, lockKey);
+            if (quorumNodes.isEmpty()) {
+                Boolean acquired = redisTemplate.opsForValue()
+                        .setIfAbsent(lockKey, lockValue, lockTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                
+                if (Boolean.TRUE.equals(acquired)) {
+                    return new LockResult(true, lockValue, lockKey, lockTimeout.toMillis());
+                }
+            } else {
+                long validityMillis = tryAcquireQuorum(lockKey, lockValue, lockTimeout);
+                if (validityMillis > 0) {
+                    return new LockResult(true, lockValue, lockKey, validityMillis);
+                }
             }
             
             // Wait a bit before retrying
             try {
-                Thread.sleep(100);
+                Thread.sleep(retryDelay.toMillis());
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
-                return new LockResult(false, null, lockKey);
+                return LockResult.notAcquired(lockKey);
             }
         }
         
-        return new LockResult(false, null, lockKey);
+        return LockResult.notAcquired(lockKey);
     }
     
     /**
      * Release a distributed lock
      * @param lockKey The lock key
      * @param lockValue The lock value (must match to release)
-     * @return true if lock was released, false otherwise
+     * @return true if lock was released (on a majority of nodes in quorum mode), false otherwise
      */
     public boolean releaseLock(String lockKey, String lockValue) {
-        String script = 
-            "if redis.call('get', KEYS[1]) == ARGV[1] then " +
-            "    return redis.call('del', KEYS[1]) " +
-            "else " +
-            "    return 0 " +
-            "end";
+        if (quorumNodes.isEmpty()) {
+            return releaseOn(redisTemplate, lockKey, lockValue);
+        }
+        return releaseQuorum(lockKey, lockValue) >= quorumSize();
+    }
+    
+    /**
+     * Try to set the lock on all quorum nodes in parallel.
+     * @return Remaining validity in milliseconds, or 0 if no majority was reached in time
+     */
+    private long tryAcquireQuorum(String lockKey, String lockValue, Duration lockTimeout) {
+        long startTime = System.currentTimeMillis();
+        int acquired = countOnQuorum(node -> Boolean.TRUE.equals(node.opsForValue()
+                .setIfAbsent(lockKey, lockValue, lockTimeout.toMillis(), TimeUnit.MILLISECONDS)));
         
-        DefaultRedisScript<Long> redisScript = new DefaultRedisScript<>();
-        redisScript.setScriptText(script);
-        redisScript.setResultType(Long.class);
+        // Time spent acquiring and the possible clock drift between nodes shorten the lock validity
+        long elapsed = System.currentTimeMillis() - startTime;
+        long drift = (long) (lockTimeout.toMillis() * clockDriftFactor) + 2;
+        long validityMillis = lockTimeout.toMillis() - elapsed - drift;
         
-        Long result = redisTemplate.execute(
-            redisScript,
+        if (acquired >= quorumSize() && validityMillis > 0) {
+            return validityMillis;
+        }
+        
+        // Undo partial acquisition so other clients are not blocked until the TTL expires
+        releaseQuorum(lockKey, lockValue);
+        return 0;
+    }
+    
+    private int releaseQuorum(String lockKey, String lockValue) {
+        return countOnQuorum(node -> releaseOn(node, lockKey, lockValue));
+    }
+    
+    /**
+     * Run an operation on every quorum node in parallel and count the successes.
+     * Nodes that fail or do not answer within the node timeout count as unsuccessful,
+     * so a hanging node cannot use up the lock validity.
+     */
+    private int countOnQuorum(Predicate<RedisTemplate<String, String>> operation) {
+        List<CompletableFuture<Boolean>> results = quorumNodes.stream()
+                .map(node -> CompletableFuture.supplyAsync(() -> operation.test(node), quorumExecutor)
+                        .completeOnTimeout(false, nodeTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .exceptionally(e -> false))
+                .toList();
+        
+        return (int) results.stream()
+                .filter(CompletableFuture::join)
+                .count();
+    }
+    
+    private int quorumSize() {
+        return quorumNodes.size() / 2 + 1;
+    }
+    
+    private static boolean releaseOn(RedisTemplate<String, String> template, String lockKey, String lockValue) {
+        Long result = template.execute(
+            RELEASE_SCRIPT,
             Collections.singletonList(lockKey),
             lockValue
         );
@@ -95,6 +206,13 @@ public class DistributedLockService {
         return result != null && result == 1L;
     }
     
+    @PreDestroy
+    public void shutdown() {
+        if (quorumExecutor != null) {
+            quorumExecutor.shutdown();
+        }
+    }
+    
     /**
      * Result of lock acquisition attempt
      */
@@ -102,11 +220,25 @@ public class DistributedLockService {
         private final boolean acquired;
         private final String lockValue;
         private final String lockKey;
+        private final long validityMillis;
+        private final long validUntilMillis;
         
-        public LockResult(boolean acquired, String lockValue, String lockKey) {
+        /**
+         * @param validityMillis How long an acquired lock can be relied on, in milliseconds
+         */
+        public LockResult(boolean acquired, String lockValue, String lockKey, long validityMillis) {
             this.acquired = acquired;
             this.lockValue = lockValue;
             this.lockKey = lockKey;
+            this.validityMillis = validityMillis;
+            this.validUntilMillis = System.currentTimeMillis() + validityMillis;
+        }
+        
+        /**
+         * Result of an attempt that did not get the lock
+         */
+        public static LockResult notAcquired(String lockKey) {
+            return new LockResult(false, null, lockKey, 0);
         }
         
         public boolean isAcquired() {
@@ -120,5 +252,19 @@ public class DistributedLockService {
         public String getLockKey() {
             return lockKey;
         }
+        
+        /**
+         * @return How long the lock can be relied on after acquisition, in milliseconds
+         */
+        public long getValidityMillis() {
+            return validityMillis;
+        }
+        
+        /**
+         * @return How much of the lock validity is left, in milliseconds (0 or less once expired)
+         */
+        public long getRemainingValidityMillis() {
+            return validUntilMillis - System.currentTimeMillis();
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
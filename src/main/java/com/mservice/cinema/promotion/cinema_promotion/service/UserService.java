@@ -62,12 +62,16 @@ public class UserService {
         }
         
         try {
-            // Check if user with same name already exists (business rule)
-            Optional<User> existingUser = userRepository.findByName(user.getName());
-            if (existingUser.isPresent()) {
+            // Check if user with same name already exists (business rule), bypassing the instance-local cache
+            if (userRepository.existsByName(user.getName())) {
                 throw new UserAlreadyExistsException("User with name '" + user.getName() + "' already exists");
             }
             
+            // The lock may have expired while waiting on the database; another request could hold it now
+            if (lockResult.getRemainingValidityMillis() <= 0) {
+                throw new LockAcquisitionException("Lock for user creation expired before the user was saved. Please try again.");
+            }
+            
             return userRepository.save(user);
         } catch (DataIntegrityViolationException e) {
             throw new UserAlreadyExistsException("User creation failed due to data integrity violation", e);
@@ -77,7 +81,8 @@ public class UserService {
         }
     }
     
-    // Update an existing user
+    // Update an existing user (read-write, so the lookup sees the primary and not a lagging replica)
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         Optional<User> optionalUser = userRepository.findById(id);
         if (optionalUser.isPresent()) {
@@ -90,17 +95,20 @@ public class UserService {
         }
     }
     
-    // Get user by ID
+    // Get user by ID (read-only, routed to the replica when configured)
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
     
-    // Get all users
+    // Get all users (read-only, routed to the replica when configured)
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
-    // Delete user by ID
+    // Delete user by ID (read-write, so the existence check runs on the primary)
+    @Transactional
     public void deleteUser(Long id) {
         if (userRepository.existsById(id)) {
             userRepository.deleteById(id);
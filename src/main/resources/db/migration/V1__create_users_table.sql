@@ -0,0 +1,7 @@
+-- Schema previously created by Hibernate (ddl-auto=update); IF NOT EXISTS lets existing databases baseline onto it
+CREATE TABLE IF NOT EXISTS users (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name    VARCHAR(100) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_name UNIQUE (name)
+);
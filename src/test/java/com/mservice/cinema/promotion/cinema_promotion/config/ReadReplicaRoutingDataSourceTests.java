@@ -0,0 +1,145 @@
+package com.mservice.cinema.promotion.cinema_promotion.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReadReplicaRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private SwitchableDataSource replicaSwitch;
+    private ReadReplicaRoutingDataSource routingDataSource;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        primary = embeddedDatabase("primary");
+        replica = embeddedDatabase("replica");
+        replicaSwitch = new SwitchableDataSource(replica);
+
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setLagQuery("SELECT lag_seconds FROM replica_lag");
+        properties.setMaxLag(Duration.ofSeconds(5));
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicaSwitch, properties);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void routesReadOnlyTransactionsToReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsDown() {
+        replicaSwitch.down = true;
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+        assertFalse(routingDataSource.isReplicaAvailable());
+
+        replicaSwitch.down = false;
+        routingDataSource.checkReplica();
+
+        assertTrue(routingDataSource.isReplicaAvailable());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void busyReplicaPoolDoesNotMarkReplicaDown() {
+        replicaSwitch.busy = true;
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+        routingDataSource.checkReplica();
+        assertTrue(routingDataSource.isReplicaAvailable());
+
+        replicaSwitch.busy = false;
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaLags() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag_seconds = 30");
+        routingDataSource.checkReplica();
+
+        assertFalse(routingDataSource.isReplicaAvailable());
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET lag_seconds = 0");
+        routingDataSource.checkReplica();
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_name", String.class);
+    }
+
+    private static EmbeddedDatabase embeddedDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + System.nanoTime())
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE database_name (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO database_name VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE replica_lag (lag_seconds DOUBLE)");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        return database;
+    }
+
+    /**
+     * Replica stand-in that refuses connections while marked down, and times out like an
+     * exhausted Hikari pool while marked busy
+     */
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+        private volatile boolean busy;
+
+        SwitchableDataSource(EmbeddedDatabase target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Replica is down");
+            }
+            if (busy) {
+                throw new SQLTransientConnectionException("replica - Connection is not available, request timed out");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mservice.cinema.promotion.cinema_promotion.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks key indexes in [0, keys) either uniformly or with Zipfian skew (index 0 is the hottest key)
+ */
+public class KeyDistribution {
+
+    private final int keys;
+    private final double[] cumulativeProbabilities;
+
+    private KeyDistribution(int keys, double[] cumulativeProbabilities) {
+        this.keys = keys;
+        this.cumulativeProbabilities = cumulativeProbabilities;
+    }
+
+    public static KeyDistribution uniform(int keys) {
+        return new KeyDistribution(keys, null);
+    }
+
+    public static KeyDistribution zipfian(int keys, double exponent) {
+        double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < keys; i++) {
+            cumulative[i] /= sum;
+        }
+        return new KeyDistribution(keys, cumulative);
+    }
+
+    public static KeyDistribution of(LoadSimulationSettings settings) {
+        return switch (settings.getDistribution()) {
+            case "uniform" -> uniform(settings.getKeys());
+            case "zipfian" -> zipfian(settings.getKeys(), settings.getZipfExponent());
+            default -> throw new IllegalArgumentException("Unknown key distribution: " + settings.getDistribution());
+        };
+    }
+
+    public int next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (cumulativeProbabilities == null) {
+            return random.nextInt(keys);
+        }
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, keys - 1);
+    }
+}
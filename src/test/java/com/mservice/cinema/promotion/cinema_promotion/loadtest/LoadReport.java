@@ -0,0 +1,68 @@
+package com.mservice.cinema.promotion.cinema_promotion.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counts per operation, collected during the measured phase
+ */
+public class LoadReport {
+
+    // Latencies are recorded in microseconds, up to one minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public void record(String operation, String outcome, long latencyNanos) {
+        latencies.computeIfAbsent(operation, key -> new ConcurrentHistogram(MAX_LATENCY_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        outcomes.computeIfAbsent(operation + " " + outcome, key -> new LongAdder()).increment();
+    }
+
+    public long totalCount(String operation) {
+        Histogram histogram = latencies.get(operation);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    public String format(LoadSimulationSettings settings, Duration elapsed) {
+        StringBuilder report = new StringBuilder();
+        report.append("Load simulation: ").append(settings).append('\n');
+
+        long total = latencies.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        report.append(String.format("Throughput: %d requests in %.1f s = %.1f req/s%n",
+                total, elapsed.toMillis() / 1000.0, total * 1000.0 / Math.max(elapsed.toMillis(), 1)));
+
+        report.append(String.format("%n%-8s %10s %10s %10s %10s %10s %10s %10s%n",
+                "op", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms"));
+        new TreeMap<>(latencies).forEach((operation, histogram) -> report.append(String.format(
+                "%-8s %10d %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                operation,
+                histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                histogram.getMean() / 1000)));
+
+        report.append(String.format("%nOutcomes:%n"));
+        new TreeMap<>(outcomes).forEach((outcome, count) -> {
+            long operationTotal = totalCount(outcome.substring(0, outcome.indexOf(' ')));
+            report.append(String.format("  %-40s %10d %6.2f%%%n",
+                    outcome, count.sum(), count.sum() * 100.0 / Math.max(operationTotal, 1)));
+        });
+        return report.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.mservice.cinema.promotion.cinema_promotion.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * Parameters of a load simulation run, read from -Dloadtest.* system properties
+ */
+public class LoadSimulationSettings {
+
+    // Number of concurrent clients
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+
+    // Measured run time, after an unmeasured warm-up
+    private final Duration duration = duration("loadtest.duration", "20s");
+    private final Duration warmup = duration("loadtest.warmup", "5s");
+
+    // Number of distinct user names and how requests are spread over them (uniform or zipfian)
+    private final int keys = Integer.getInteger("loadtest.keys", 1000);
+    private final String distribution = System.getProperty("loadtest.distribution", "zipfian");
+    private final double zipfExponent = Double.parseDouble(System.getProperty("loadtest.zipf-exponent", "0.99"));
+
+    // Fraction of requests that are reads (getUserById), the rest are creates
+    private final double readRatio = Double.parseDouble(System.getProperty("loadtest.read-ratio", "0.8"));
+
+    // Lock parameters passed to DistributedLockService
+    private final Duration lockTimeout = duration("loadtest.lock-timeout", "30s");
+    private final Duration waitTimeout = duration("loadtest.wait-timeout", "10s");
+    private final Duration retryDelay = duration("loadtest.retry-delay", "100ms");
+    private final Duration nodeTimeout = duration("loadtest.node-timeout", "50ms");
+
+    // Redis stand-in: 1 node for single-instance locking, more for quorum locking, plus simulated round-trip time
+    private final int redisNodes = Integer.getInteger("loadtest.redis-nodes", 1);
+    private final Duration redisLatency = duration("loadtest.redis-latency", "500us");
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public int getKeys() {
+        return keys;
+    }
+
+    public String getDistribution() {
+        return distribution;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public double getReadRatio() {
+        return readRatio;
+    }
+
+    public Duration getLockTimeout() {
+        return lockTimeout;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public Duration getRetryDelay() {
+        return retryDelay;
+    }
+
+    public Duration getNodeTimeout() {
+        return nodeTimeout;
+    }
+
+    public int getRedisNodes() {
+        return redisNodes;
+    }
+
+    public Duration getRedisLatency() {
+        return redisLatency;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    @Override
+    public String toString() {
+        return "concurrency=" + concurrency +
+                ", duration=" + duration +
+                ", warmup=" + warmup +
+                ", keys=" + keys +
+                ", distribution=" + distribution +
+                ("zipfian".equals(distribution) ? "(" + zipfExponent + ")" : "") +
+                ", readRatio=" + readRatio +
+                ", lockTimeout=" + lockTimeout +
+                ", waitTimeout=" + waitTimeout +
+                ", retryDelay=" + retryDelay +
+                ", nodeTimeout=" + nodeTimeout +
+                ", redisNodes=" + redisNodes +
+                ", redisLatency=" + redisLatency;
+    }
+}
@@ -0,0 +1,140 @@
+package com.mservice.cinema.promotion.cinema_promotion.loadtest;
+
+import com.mservice.cinema.promotion.cinema_promotion.config.RedlockConfig;
+import com.mservice.cinema.promotion.cinema_promotion.model.User;
+import com.mservice.cinema.promotion.cinema_promotion.service.UserService;
+import com.mservice.cinema.promotion.cinema_promotion.support.InMemoryRedisTemplate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the real UserService / DistributedLockService / JPA stack with concurrent clients
+ * against an in-memory H2 database and in-memory Redis stand-ins, then prints latency
+ * percentiles, outcome breakdown and throughput. Opt-in, for example:
+ * mvn test -Dtest=UserServiceLoadSimulationTests -Dloadtest=true -Dloadtest.distribution=uniform
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class UserServiceLoadSimulationTests {
+
+    private static final LoadSimulationSettings settings = new LoadSimulationSettings();
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void simulateLoad() throws InterruptedException {
+        KeyDistribution keyDistribution = KeyDistribution.of(settings);
+        Map<Integer, Long> userIds = new ConcurrentHashMap<>();
+        LoadReport report = new LoadReport();
+
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long measureUntil = measureFrom + settings.getDuration().toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(settings.getConcurrency());
+        for (int i = 0; i < settings.getConcurrency(); i++) {
+            clients.execute(() -> runClient(keyDistribution, userIds, report, measureFrom, measureUntil));
+        }
+        clients.shutdown();
+
+        // Clients finish their last request after the measured phase, which may wait up to the lock wait timeout
+        Duration maxRunTime = settings.getWarmup().plus(settings.getDuration()).plus(settings.getWaitTimeout()).plusMinutes(1);
+        assertTrue(clients.awaitTermination(maxRunTime.toMillis(), TimeUnit.MILLISECONDS), "Clients did not finish");
+
+        System.out.println(report.format(settings, settings.getDuration()));
+        assertTrue(report.totalCount("read") + report.totalCount("create") > 0, "No requests were measured");
+    }
+
+    private void runClient(KeyDistribution keyDistribution, Map<Integer, Long> userIds, LoadReport report,
+                           long measureFrom, long measureUntil) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < measureUntil) {
+            int key = keyDistribution.next();
+            boolean read = random.nextDouble() < settings.getReadRatio();
+            String outcome;
+
+            long startNanos = System.nanoTime();
+            try {
+                if (read) {
+                    // Users not created yet are still looked up, as a client would
+                    Long id = userIds.getOrDefault(key, -1L);
+                    outcome = userService.getUserById(id).isPresent() ? "ok" : "not_found";
+                } else {
+                    User created = userService.createUser(new User("load-user-" + key, "Load Street " + key));
+                    userIds.putIfAbsent(key, created.getId());
+                    outcome = "ok";
+                }
+            } catch (RuntimeException e) {
+                outcome = e.getClass().getSimpleName();
+            }
+            long latencyNanos = System.nanoTime() - startNanos;
+
+            if (startNanos >= measureFrom && startNanos < measureUntil) {
+                report.record(read ? "read" : "create", outcome, latencyNanos);
+            }
+        }
+    }
+
+    @DynamicPropertySource
+    static void lockProperties(DynamicPropertyRegistry registry) {
+        registry.add("lock.timeout", settings::getLockTimeout);
+        registry.add("lock.wait-timeout", settings::getWaitTimeout);
+        registry.add("lock.retry-delay", settings::getRetryDelay);
+        registry.add("lock.redlock.node-timeout", settings::getNodeTimeout);
+    }
+
+    @TestConfiguration
+    static class SimulatedRedisConfig {
+
+        // Single-node locking goes to this stand-in instead of the Redis-backed template
+        @Bean
+        @Primary
+        RedisTemplate<String, String> inMemoryRedisTemplate() {
+            return simulatedNode();
+        }
+
+        // With more than one node, DistributedLockService switches to quorum locking over these stand-ins
+        @Bean
+        RedlockConfig.RedlockNodes simulatedRedlockNodes() {
+            List<RedisTemplate<String, String>> nodes = settings.getRedisNodes() > 1
+                    ? IntStream.range(0, settings.getRedisNodes()).mapToObj(i -> simulatedNode()).toList()
+                    : List.of();
+            return new RedlockConfig.RedlockNodes(nodes, List.of());
+        }
+
+        private static RedisTemplate<String, String> simulatedNode() {
+            InMemoryRedisTemplate node = new InMemoryRedisTemplate();
+            node.setLatency(settings.getRedisLatency());
+            return node;
+        }
+    }
+}
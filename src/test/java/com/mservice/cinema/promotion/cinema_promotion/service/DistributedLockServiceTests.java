@@ -0,0 +1,103 @@
+package com.mservice.cinema.promotion.cinema_promotion.service;
+
+import com.mservice.cinema.promotion.cinema_promotion.support.InMemoryRedisTemplate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistributedLockServiceTests {
+
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration WAIT_TIMEOUT = Duration.ofMillis(300);
+
+    private final InMemoryRedisTemplate nodeA = new InMemoryRedisTemplate();
+    private final InMemoryRedisTemplate nodeB = new InMemoryRedisTemplate();
+    private final InMemoryRedisTemplate nodeC = new InMemoryRedisTemplate();
+    private final DistributedLockService lockService = quorumLockService();
+
+    @AfterEach
+    void tearDown() {
+        lockService.shutdown();
+    }
+
+    @Test
+    void acquiresOnAllNodesAndReleasesEverywhere() {
+        DistributedLockService.LockResult result = lockService.acquireLock("alice", LOCK_TIMEOUT, WAIT_TIMEOUT);
+
+        assertTrue(result.isAcquired());
+        assertTrue(result.getValidityMillis() > 0 && result.getValidityMillis() < LOCK_TIMEOUT.toMillis());
+        assertEquals(result.getLockValue(), nodeA.get(result.getLockKey()));
+        assertEquals(result.getLockValue(), nodeB.get(result.getLockKey()));
+        assertEquals(result.getLockValue(), nodeC.get(result.getLockKey()));
+
+        assertTrue(lockService.releaseLock(result.getLockKey(), result.getLockValue()));
+        assertNull(nodeA.get(result.getLockKey()));
+        assertNull(nodeB.get(result.getLockKey()));
+        assertNull(nodeC.get(result.getLockKey()));
+    }
+
+    @Test
+    void survivesOneNodeGoingDown() {
+        nodeB.setDown(true);
+
+        DistributedLockService.LockResult result = lockService.acquireLock("bob", LOCK_TIMEOUT, WAIT_TIMEOUT);
+
+        assertTrue(result.isAcquired());
+        assertTrue(lockService.releaseLock(result.getLockKey(), result.getLockValue()));
+    }
+
+    @Test
+    void doesNotWaitForHangingNode() {
+        nodeB.setLatency(Duration.ofSeconds(10));
+
+        long startTime = System.currentTimeMillis();
+        DistributedLockService.LockResult result = lockService.acquireLock("erin", LOCK_TIMEOUT, WAIT_TIMEOUT);
+        assertTrue(lockService.releaseLock(result.getLockKey(), result.getLockValue()));
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        assertTrue(result.isAcquired());
+        assertTrue(result.getValidityMillis() > LOCK_TIMEOUT.toMillis() - 1000);
+        assertTrue(elapsed < 1000, "Acquire and release took " + elapsed + " ms");
+    }
+
+    @Test
+    void failsWithoutMajorityAndUndoesPartialAcquisition() {
+        nodeB.setDown(true);
+        nodeC.setDown(true);
+
+        DistributedLockService.LockResult result = lockService.acquireLock("carol", LOCK_TIMEOUT, WAIT_TIMEOUT);
+
+        assertFalse(result.isAcquired());
+        assertNull(nodeA.get(result.getLockKey()));
+    }
+
+    @Test
+    void secondClientWaitsForMajority() {
+        DistributedLockService other = quorumLockService();
+        try {
+            DistributedLockService.LockResult first = lockService.acquireLock("dave", LOCK_TIMEOUT, WAIT_TIMEOUT);
+            DistributedLockService.LockResult second = other.acquireLock("dave", LOCK_TIMEOUT, WAIT_TIMEOUT);
+
+            assertTrue(first.isAcquired());
+            assertFalse(second.isAcquired());
+
+            lockService.releaseLock(first.getLockKey(), first.getLockValue());
+            assertTrue(other.acquireLock("dave", LOCK_TIMEOUT, WAIT_TIMEOUT).isAcquired());
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private DistributedLockService quorumLockService() {
+        // The single-node template is not used in quorum mode
+        return new DistributedLockService(null, List.of(nodeA, nodeB, nodeC), 0.01,
+                Duration.ofMillis(20), Duration.ofMillis(50), LOCK_TIMEOUT, WAIT_TIMEOUT);
+    }
+}
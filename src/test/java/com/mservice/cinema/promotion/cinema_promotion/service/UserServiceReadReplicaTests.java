@@ -0,0 +1,114 @@
+package com.mservice.cinema.promotion.cinema_promotion.service;
+
+import com.mservice.cinema.promotion.cinema_promotion.model.User;
+import com.mservice.cinema.promotion.cinema_promotion.support.InMemoryRedisTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read-replica routing through the JPA transaction manager, with two embedded H2 databases
+ * standing in for the primary and the replica
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "datasource.replica.enabled=true",
+    "datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+    "datasource.replica.username=sa",
+    "datasource.replica.password=",
+    "datasource.replica.driver-class-name=org.h2.Driver",
+    "datasource.replica.lag-query="
+})
+class UserServiceReadReplicaTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+        // The replica is not written by Hibernate, so its copy of the schema is created here
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS users ("
+                + "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(100) NOT NULL UNIQUE, "
+                + "address VARCHAR(255) NOT NULL)");
+    }
+
+    @Test
+    void readsGoToReplica() {
+        // Only the replica has this row, so finding it proves the read was routed there
+        replica.update("INSERT INTO users (id, name, address) VALUES (1001, 'Replica Only', '1 Replica Road')");
+
+        Optional<User> user = userService.getUserById(1001L);
+
+        assertTrue(user.isPresent());
+        assertEquals("Replica Only", user.get().getName());
+        assertEquals(0, primary.queryForObject("SELECT COUNT(*) FROM users WHERE id = 1001", Integer.class));
+    }
+
+    @Test
+    void createsGoToPrimary() {
+        User created = userService.createUser(new User("Primary Only", "1 Primary Road"));
+
+        assertEquals(1, primary.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, created.getId()));
+        assertEquals(0, replica.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE name = 'Primary Only'", Integer.class));
+    }
+
+    @Test
+    void updatesAndDeletesGoToPrimary() {
+        // The replica has not caught up with this row yet, so lookups on it would miss
+        primary.update("INSERT INTO users (id, name, address) VALUES (2001, 'Not Replicated', '2 Primary Road')");
+
+        User updated = userService.updateUser(2001L, new User("Not Replicated", "3 Primary Road"));
+
+        assertEquals("3 Primary Road", updated.getAddress());
+        assertEquals("3 Primary Road", primary.queryForObject(
+                "SELECT address FROM users WHERE id = 2001", String.class));
+
+        userService.deleteUser(2001L);
+
+        assertEquals(0, primary.queryForObject("SELECT COUNT(*) FROM users WHERE id = 2001", Integer.class));
+    }
+
+    @TestConfiguration
+    static class InMemoryRedisConfig {
+
+        @Bean
+        @Primary
+        RedisTemplate<String, String> inMemoryRedisTemplate() {
+            return new InMemoryRedisTemplate();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mservice.cinema.promotion.cinema_promotion.service;
+
+import com.mservice.cinema.promotion.cinema_promotion.exception.LockAcquisitionException;
+import com.mservice.cinema.promotion.cinema_promotion.model.User;
+import com.mservice.cinema.promotion.cinema_promotion.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final DistributedLockService lockService = mock(DistributedLockService.class);
+    private final UserService userService = new UserService(userRepository, lockService);
+
+    @Test
+    void savesWhileLockIsValid() {
+        User user = new User("Alice", "1 Main Street");
+        when(lockService.acquireLock(anyString()))
+                .thenReturn(new DistributedLockService.LockResult(true, "value", "key", 30_000));
+        when(userRepository.existsByName("Alice")).thenReturn(false);
+        when(userRepository.save(user)).thenReturn(user);
+
+        assertSame(user, userService.createUser(user));
+        verify(lockService).releaseLock("key", "value");
+    }
+
+    @Test
+    void doesNotSaveOnceLockHasExpired() {
+        when(lockService.acquireLock(anyString()))
+                .thenReturn(new DistributedLockService.LockResult(true, "value", "key", 0));
+        when(userRepository.existsByName("Bob")).thenReturn(false);
+
+        assertThrows(LockAcquisitionException.class,
+                () -> userService.createUser(new User("Bob", "2 Main Street")));
+        verify(userRepository, never()).save(any());
+        verify(lockService).releaseLock("key", "value");
+    }
+
+    @Test
+    void doesNotSaveWithoutLock() {
+        when(lockService.acquireLock(anyString()))
+                .thenReturn(DistributedLockService.LockResult.notAcquired("key"));
+
+        assertThrows(LockAcquisitionException.class,
+                () -> userService.createUser(new User("Carol", "3 Main Street")));
+        verify(userRepository, never()).save(any());
+    }
+}
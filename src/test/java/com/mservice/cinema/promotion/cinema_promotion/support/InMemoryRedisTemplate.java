@@ -0,0 +1,118 @@
+package com.mservice.cinema.promotion.cinema_promotion.support;
+
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory stand-in for a Redis node: supports SET NX PX with expiry and the lock release script.
+ * Can simulate network latency and an unreachable node.
+ */
+public class InMemoryRedisTemplate extends RedisTemplate<String, String> {
+
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+            ValueOperations.class.getClassLoader(), new Class<?>[] {ValueOperations.class}, this::invokeValueOperation);
+    private volatile boolean down;
+    private volatile Duration latency = Duration.ZERO;
+
+    public String get(String key) {
+        Entry entry = store.get(key);
+        return entry == null || entry.isExpired() ? null : entry.value();
+    }
+
+    public void setDown(boolean down) {
+        this.down = down;
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // No connection factory needed when used as a Spring bean
+    }
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        roundTrip();
+        boolean[] removed = new boolean[1];
+        store.computeIfPresent(keys.get(0), (key, existing) -> {
+            if (existing.value().equals(args[0]) && !existing.isExpired()) {
+                removed[0] = true;
+                return null;
+            }
+            return existing;
+        });
+        return (T) Long.valueOf(removed[0] ? 1L : 0L);
+    }
+
+    private void roundTrip() {
+        if (down) {
+            throw new RedisConnectionFailureException("Node is down");
+        }
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Boolean setIfAbsent(String key, String value, long expiresAt) {
+        roundTrip();
+        Entry entry = new Entry(value, expiresAt);
+        Entry current = store.compute(key, (k, existing) -> existing == null || existing.isExpired() ? entry : existing);
+        return current == entry;
+    }
+
+    private record Entry(String value, long expiresAt) {
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    /**
+     * Only the operations used by DistributedLockService are supported; default methods
+     * delegate to them, anything else fails
+     */
+    private Object invokeValueOperation(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.isDefault()) {
+            return InvocationHandler.invokeDefault(proxy, method, args);
+        }
+        int argCount = args == null ? 0 : args.length;
+        return switch (method.getName() + "/" + argCount) {
+            case "setIfAbsent/4" -> setIfAbsent((String) args[0], (String) args[1],
+                    System.currentTimeMillis() + ((TimeUnit) args[3]).toMillis((Long) args[2]));
+            case "setIfAbsent/2" -> setIfAbsent((String) args[0], (String) args[1], Long.MAX_VALUE);
+            case "get/1" -> {
+                roundTrip();
+                yield get((String) args[0]);
+            }
+            case "getOperations/0" -> this;
+            case "equals/1" -> proxy == args[0];
+            case "hashCode/0" -> System.identityHashCode(proxy);
+            case "toString/0" -> "InMemoryValueOperations";
+            default -> throw new UnsupportedOperationException(method.toString());
+        };
+    }
+}